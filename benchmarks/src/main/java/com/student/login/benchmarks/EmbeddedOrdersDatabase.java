@@ -0,0 +1,99 @@
+package com.student.login.benchmarks;
+
+import com.student.login.OrderRepository;
+import com.student.login.OrderStatus;
+import java.sql.*;
+import java.time.LocalDateTime;
+
+/**
+ * In-memory H2 database running in MySQL mode with the orders schema from README
+ * Used by the benchmarks in place of the local MySQL server
+ */
+public class EmbeddedOrdersDatabase {
+
+    /** Orders are spread over this many consecutive days ending at BASE_DATE */
+    public static final int DAYS = 365;
+    public static final LocalDateTime BASE_DATE = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private final String url;
+    private final Connection keepAlive;
+
+    private EmbeddedOrdersDatabase(String url, Connection keepAlive) {
+        this.url = url;
+        this.keepAlive = keepAlive;
+    }
+
+    /**
+     * Creates a fresh database and seeds it with rowCount PENDING orders
+     * Order i has id ORD-i and is dated BASE_DATE minus (i % DAYS) days
+     */
+    public static EmbeddedOrdersDatabase create(String name, int rowCount) throws SQLException {
+        // items is VARCHAR rather than JSON: H2 would store bound strings as JSON string literals
+        String url = "jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=DATE";
+
+        // The in-memory database lives as long as at least one connection is open
+        Connection conn = DriverManager.getConnection(url);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS orders");
+            stmt.execute("CREATE TABLE orders (" +
+                    "id VARCHAR(50) PRIMARY KEY, " +
+                    "date DATETIME, " +
+                    "customer VARCHAR(100), " +
+                    "items VARCHAR(4000), " +
+                    "status VARCHAR(20), " +
+                    "version INT NOT NULL DEFAULT 0)");
+        }
+
+        seed(conn, rowCount);
+        return new EmbeddedOrdersDatabase(url, conn);
+    }
+
+    private static void seed(Connection conn, int rowCount) throws SQLException {
+        conn.setAutoCommit(false);
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO orders (id, date, customer, items, status) VALUES (?, ?, ?, ?, ?)")) {
+
+            for (int i = 0; i < rowCount; i++) {
+                ps.setString(1, orderId(i));
+                ps.setTimestamp(2, Timestamp.valueOf(orderDate(i)));
+                ps.setString(3, "customer-" + (i % 500));
+                ps.setString(4, "[{\"sku\":\"SKU-" + (i % 97) + "\",\"qty\":" + (1 + i % 5) + "}]");
+                ps.setString(5, OrderStatus.PENDING.name());
+                ps.addBatch();
+
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    ps.executeBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+        conn.commit();
+        conn.setAutoCommit(true);
+    }
+
+    public static String orderId(int i) {
+        return "ORD-" + i;
+    }
+
+    public static LocalDateTime orderDate(int i) {
+        return BASE_DATE.minusDays(i % DAYS);
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public OrderRepository repository() {
+        return new OrderRepository(url, "", "");
+    }
+
+    public void close() throws SQLException {
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("SHUTDOWN");
+        } finally {
+            keepAlive.close();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.student.login.benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects latency samples (nanoseconds) and error counts for one step of the load test
+ * Samples are kept in full so percentiles are exact
+ */
+public class LatencyRecorder {
+
+    private final String name;
+    private final AtomicLong errors = new AtomicLong();
+
+    private long[] samples = new long[1024];
+    private int count;
+
+    public LatencyRecorder(String name) {
+        this.name = name;
+    }
+
+    public synchronized void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    public void recordError() {
+        errors.incrementAndGet();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+
+    /**
+     * @return Fraction of attempts that failed, between 0 and 1
+     */
+    public synchronized double getErrorRate() {
+        long attempts = count + errors.get();
+        return attempts == 0 ? 0 : (double) errors.get() / attempts;
+    }
+
+    /**
+     * @param percentile Between 0 and 100
+     * @return Latency in milliseconds, or 0 when nothing was recorded
+     */
+    public synchronized double percentileMillis(double percentile) {
+        if (count == 0) return 0;
+
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        index = Math.max(0, Math.min(count - 1, index));
+        return sorted[index] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,298 @@
+package com.student.login.benchmarks;
+
+import com.student.login.LoginFrame;
+import com.student.login.OTPServer;
+import com.student.login.Order;
+import com.student.login.OrderRepository;
+import com.student.login.TwoFAFrame;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Headless load generator for the login -> 2FA -> orders flow
+ *
+ * Each session checks the password, verifies a freshly computed TOTP code,
+ * searches orders by ID and by date, then inserts a new order, against an
+ * embedded database. Sessions are started at a fixed rate (open loop) and
+ * latency is measured from the scheduled start, so a saturated system shows
+ * up as growing latency instead of a silently lower request rate.
+ *
+ * Usage:
+ *   java -cp target/benchmarks.jar com.student.login.benchmarks.LoadGenerator
+ *        [--rates=25,50,100,200,400] [--duration=30] [--warmup=10] [--rows=10000] [--slo-ms=500]
+ *
+ * A warm-up stage at the first rate runs first and is not reported. Then one
+ * stage is run per rate (sessions per second); the first stage that misses its
+ * target rate, exceeds the p99 SLO or fails more than 1% of sessions is
+ * reported as the saturation point.
+ */
+public class LoadGenerator {
+
+    private static final String USERNAME = "admin";
+    private static final String PASSWORD = "password123";
+    private static final String SECRET_KEY = "JBSWY3DPEHPK3PXP";
+
+    private static final double MIN_THROUGHPUT_RATIO = 0.95;
+    private static final double MAX_ERROR_RATE = 0.01;
+    private static final long DRAIN_TIMEOUT_SECONDS = 60;
+
+    private final OrderRepository repository;
+    private final int rowCount;
+
+    private final LatencyRecorder login = new LatencyRecorder("login");
+    private final LatencyRecorder otp = new LatencyRecorder("verify-otp");
+    private final LatencyRecorder searchById = new LatencyRecorder("search-id");
+    private final LatencyRecorder searchByDate = new LatencyRecorder("search-date");
+    private final LatencyRecorder insert = new LatencyRecorder("insert");
+    private final LatencyRecorder session = new LatencyRecorder("session");
+
+    private LoadGenerator(OrderRepository repository, int rowCount) {
+        this.repository = repository;
+        this.rowCount = rowCount;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        double[] rates = parseRates(options.getOrDefault("rates", "25,50,100,200,400"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int rowCount = Integer.parseInt(options.getOrDefault("rows", "10000"));
+        double sloMillis = Double.parseDouble(options.getOrDefault("slo-ms", "500"));
+
+        for (double rate : rates) {
+            // Above one session per nanosecond the start interval would round down to zero
+            require(rate > 0 && rate <= TimeUnit.SECONDS.toNanos(1),
+                    "--rates must be between 0 (exclusive) and 1e9, got " + rate);
+        }
+        require(durationSeconds > 0, "--duration must be positive, got " + durationSeconds);
+        require(warmupSeconds >= 0, "--warmup must not be negative, got " + warmupSeconds);
+        require(rowCount > 0, "--rows must be positive, got " + rowCount);
+        require(sloMillis > 0, "--slo-ms must be positive, got " + sloMillis);
+
+        EmbeddedOrdersDatabase database = EmbeddedOrdersDatabase.create("loadgen", rowCount);
+        ExecutorService executor = newVirtualThreadExecutor();
+        boolean virtualThreads = executor != null;
+        if (!virtualThreads) {
+            executor = Executors.newCachedThreadPool();
+        }
+
+        System.out.println("=================================");
+        System.out.println("Load generator");
+        System.out.println("=================================");
+        System.out.println("  Seeded rows:  " + rowCount);
+        System.out.println("  Warm-up:      " + warmupSeconds + " s");
+        System.out.println("  Stage length: " + durationSeconds + " s");
+        System.out.println("  p99 SLO:      " + sloMillis + " ms");
+        System.out.println("  Threads:      " + (virtualThreads ? "virtual" : "platform (cached pool)"));
+
+        Double saturationRate = null;
+        try {
+            if (warmupSeconds > 0) {
+                new LoadGenerator(database.repository(), rowCount).run(executor, rates[0], warmupSeconds);
+            }
+
+            for (double rate : rates) {
+                LoadGenerator stage = new LoadGenerator(database.repository(), rowCount);
+                double achieved = stage.run(executor, rate, durationSeconds);
+                stage.report(rate, achieved);
+
+                boolean saturated = achieved < rate * MIN_THROUGHPUT_RATIO
+                        || stage.session.percentileMillis(99) > sloMillis
+                        || stage.session.getErrorRate() > MAX_ERROR_RATE;
+                if (saturated) {
+                    saturationRate = rate;
+                    break;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+            database.close();
+        }
+
+        System.out.println("=================================");
+        if (saturationRate != null) {
+            System.out.printf("Saturated at %.1f sessions/s%n", saturationRate);
+        } else {
+            System.out.println("No saturation up to the highest rate tested");
+        }
+    }
+
+    /* ---------------- STAGE ---------------- */
+
+    /**
+     * Starts sessions at the given rate for the given duration and waits for them to finish
+     *
+     * @return Completed sessions per second
+     */
+    private double run(ExecutorService executor, double rate, int durationSeconds) throws InterruptedException {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        List<Future<?>> sessions = new ArrayList<>();
+        List<AtomicBoolean> outcomes = new ArrayList<>();
+        for (long next = start; next < end; next += interval) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            long scheduled = next;
+            AtomicBoolean recorded = new AtomicBoolean();
+            outcomes.add(recorded);
+            sessions.add(executor.submit(() -> runSession(scheduled, recorded)));
+        }
+
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DRAIN_TIMEOUT_SECONDS);
+        for (int i = 0; i < sessions.size(); i++) {
+            Future<?> future = sessions.get(i);
+            try {
+                future.get(Math.max(0, drainDeadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+            } catch (Exception e) {
+                // Counted below unless the session recorded itself
+            }
+            // A cancelled session may still finish and record itself; whichever comes first counts
+            if (outcomes.get(i).compareAndSet(false, true)) {
+                session.recordError();
+            }
+        }
+
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        return session.getCount() / elapsedSeconds;
+    }
+
+    /**
+     * @param recorded Set by whoever records the session's outcome, so it is counted once
+     */
+    private void runSession(long scheduledStart, AtomicBoolean recorded) {
+        try {
+            step(login, () -> {
+                if (!LoginFrame.authenticateUser(USERNAME, PASSWORD)) {
+                    throw new IllegalStateException("Login rejected");
+                }
+            });
+
+            step(otp, () -> {
+                String code = TwoFAFrame.generateTOTP(SECRET_KEY, System.currentTimeMillis() / 1000);
+                if (!OTPServer.verifyOTP(SECRET_KEY, code)) {
+                    throw new IllegalStateException("TOTP rejected");
+                }
+            });
+
+            int row = ThreadLocalRandom.current().nextInt(rowCount);
+            step(searchById, () -> repository.findById(EmbeddedOrdersDatabase.orderId(row)));
+            step(searchByDate, () -> repository.findByDate(
+                    EmbeddedOrdersDatabase.orderDate(row).toLocalDate().toString()));
+
+            step(insert, () -> {
+                // Same ID scheme as OrdersFrame
+                String orderId = "ORD-" + UUID.randomUUID();
+                repository.insert(new Order(orderId, LocalDateTime.now(),
+                        "load-customer", "[{\"sku\":\"SKU-1\",\"qty\":1}]"));
+            });
+
+            if (recorded.compareAndSet(false, true)) {
+                session.record(System.nanoTime() - scheduledStart);
+            }
+        } catch (Exception e) {
+            if (recorded.compareAndSet(false, true)) {
+                session.recordError();
+            }
+        }
+    }
+
+    private interface Step {
+        void run() throws Exception;
+    }
+
+    private static void step(LatencyRecorder recorder, Step step) throws Exception {
+        long start = System.nanoTime();
+        try {
+            step.run();
+        } catch (Exception e) {
+            recorder.recordError();
+            throw e;
+        }
+        recorder.record(System.nanoTime() - start);
+    }
+
+    /* ---------------- REPORT ---------------- */
+
+    private void report(double targetRate, double achievedRate) {
+        System.out.println("---------------------------------");
+        System.out.printf("Target %.1f sessions/s, achieved %.1f sessions/s%n", targetRate, achievedRate);
+        System.out.printf("  %-12s %8s %7s %9s %9s %9s %9s %9s%n",
+                "step", "count", "err%", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        for (LatencyRecorder recorder : new LatencyRecorder[]{
+                login, otp, searchById, searchByDate, insert, session}) {
+            System.out.printf("  %-12s %8d %7.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    recorder.getName(),
+                    recorder.getCount(),
+                    recorder.getErrorRate() * 100,
+                    recorder.percentileMillis(50),
+                    recorder.percentileMillis(90),
+                    recorder.percentileMillis(99),
+                    recorder.percentileMillis(99.9),
+                    recorder.percentileMillis(100));
+        }
+    }
+
+    /* ---------------- SETUP ---------------- */
+
+    /**
+     * Virtual threads need Java 21 while the project targets Java 11, so look them up reflectively
+     *
+     * @return A thread-per-task executor, or null on runtimes without virtual threads
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private static void require(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    private static double[] parseRates(String value) {
+        String[] parts = value.split(",");
+        double[] rates = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            rates[i] = Double.parseDouble(parts[i].trim());
+        }
+        return rates;
+    }
+}
@@ -0,0 +1,61 @@
+package com.student.login.benchmarks;
+
+import com.student.login.Order;
+import com.student.login.OrderRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrdersFrame queries against an embedded database
+ * Row counts can be overridden with -p rowCount=...
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderQueryBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int rowCount;
+
+    private EmbeddedOrdersDatabase database;
+    private OrderRepository repository;
+
+    private String existingId;
+    private String existingDate;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        database = EmbeddedOrdersDatabase.create("bench-queries", rowCount);
+        repository = database.repository();
+
+        existingId = EmbeddedOrdersDatabase.orderId(rowCount / 2);
+        existingDate = EmbeddedOrdersDatabase.orderDate(rowCount / 2)
+                .format(DateTimeFormatter.ISO_LOCAL_DATE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Benchmark
+    public List<Order> loadAll() throws Exception {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    public List<Order> searchById() throws Exception {
+        return repository.findById(existingId);
+    }
+
+    @Benchmark
+    public List<Order> searchByDate() throws Exception {
+        return repository.findByDate(existingDate);
+    }
+}
@@ -0,0 +1,45 @@
+package com.student.login.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.student.login.Order;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of Order, as used for the S3 archive
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderSerializationBenchmark {
+
+    // Same configuration as OrdersFrame
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule());
+
+    private Order order;
+    private String json;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        order = new Order("ORD-1700000000000", LocalDateTime.of(2025, 1, 1, 9, 30),
+                "customer-42", "[{\"sku\":\"SKU-7\",\"qty\":3},{\"sku\":\"SKU-9\",\"qty\":1}]");
+        json = mapper.writeValueAsString(order);
+    }
+
+    @Benchmark
+    public String serialize() throws Exception {
+        return mapper.writeValueAsString(order);
+    }
+
+    @Benchmark
+    public Order deserialize() throws Exception {
+        return mapper.readValue(json, Order.class);
+    }
+}
@@ -0,0 +1,69 @@
+package com.student.login.benchmarks;
+
+import com.student.login.Order;
+import com.student.login.OrderRepository;
+import com.student.login.WriteBehindOrderQueue;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Time until an order insert is acknowledged: direct JDBC insert
+ * versus the write-behind journal (fsync, database applied in the background)
+ * Run with -t 8 to see journal group commit amortize the fsync.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderWriteBenchmark {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private EmbeddedOrdersDatabase database;
+    private OrderRepository repository;
+    private WriteBehindOrderQueue writeQueue;
+    private Path journalDir;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        database = EmbeddedOrdersDatabase.create("bench-writes", 0);
+        repository = database.repository();
+
+        journalDir = Files.createTempDirectory("order-journal-bench");
+        writeQueue = new WriteBehindOrderQueue(repository, journalDir);
+        writeQueue.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        writeQueue.close();
+        database.close();
+        try (Stream<Path> files = Files.walk(journalDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private Order nextOrder() {
+        return new Order("ORD-" + sequence.incrementAndGet(), LocalDateTime.now(),
+                "customer-1", "[{\"sku\":\"SKU-1\",\"qty\":1}]");
+    }
+
+    @Benchmark
+    public void directInsert() throws Exception {
+        repository.insert(nextOrder());
+    }
+
+    @Benchmark
+    public void writeBehindInsert() throws Exception {
+        writeQueue.insert(nextOrder()).get();
+    }
+}
@@ -0,0 +1,65 @@
+package com.student.login.benchmarks;
+
+import com.student.login.OTPServer;
+import com.student.login.TwoFAFrame;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TOTP generation and verification cost
+ * A rejected code is the worst case for verifyOTP: all three time steps are computed
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OtpBenchmark {
+
+    private static final String SECRET = "JBSWY3DPEHPK3PXP";
+    private static final long TIME_STEP = 30;
+
+    private String validCode;
+    private String invalidCode;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        long now = System.currentTimeMillis() / 1000;
+        validCode = TwoFAFrame.generateTOTP(SECRET, now);
+        invalidCode = codeOutsideWindow(now);
+    }
+
+    /**
+     * A six-digit code that matches none of the steps verifyOTP checks (now and ±1 step)
+     * One more step on each side covers a step boundary passing during the iteration.
+     */
+    private static String codeOutsideWindow(long now) {
+        Set<String> window = new HashSet<>();
+        for (int step = -2; step <= 2; step++) {
+            window.add(TwoFAFrame.generateTOTP(SECRET, now + step * TIME_STEP));
+        }
+        for (int candidate = 0; ; candidate++) {
+            String code = String.format("%06d", candidate);
+            if (!window.contains(code)) return code;
+        }
+    }
+
+    @Benchmark
+    public String generateTOTP() {
+        return TwoFAFrame.generateTOTP(SECRET, System.currentTimeMillis() / 1000);
+    }
+
+    @Benchmark
+    public boolean verifyOTPValid() {
+        return OTPServer.verifyOTP(SECRET, validCode);
+    }
+
+    @Benchmark
+    public boolean verifyOTPInvalid() {
+        return OTPServer.verifyOTP(SECRET, invalidCode);
+    }
+}
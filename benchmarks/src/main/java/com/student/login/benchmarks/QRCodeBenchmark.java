@@ -0,0 +1,40 @@
+package com.student.login.benchmarks;
+
+import com.student.login.QRCodeUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * QR code rendering as done by TwoFAFrame for every login
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QRCodeBenchmark {
+
+    private static final String OTP_AUTH_URL =
+            "otpauth://totp/SecureLogin:admin?secret=JBSWY3DPEHPK3PXP&issuer=SecureLogin";
+
+    private Path output;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        output = Files.createTempFile("qrcode-bench", ".png");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(output);
+    }
+
+    @Benchmark
+    public void generateQRCode() throws Exception {
+        QRCodeUtil.generateQRCode(OTP_AUTH_URL, output.toString());
+    }
+}
@@ -1,5 +0,0 @@
-public enum OrderStatus {
-    PENDING,
-    COMPLETED,
-    ARCHIVED
-}
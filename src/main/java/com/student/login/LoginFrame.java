@@ -1,3 +1,5 @@
+package com.student.login;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
@@ -141,7 +143,7 @@ public class LoginFrame extends JFrame {
      * @param password The password to verify
      * @return true if credentials are valid, false otherwise
      */
-    private boolean authenticateUser(String username, String password) {
+    public static boolean authenticateUser(String username, String password) {
         // Hardcoded credentials for demonstration
         // In production: query database, check Apache htpasswd, or use LDAP
         return "admin".equals(username) && "password123".equals(password);
@@ -151,6 +153,9 @@ public class LoginFrame extends JFrame {
      * Main entry point for the application
      */
     public static void main(String[] args) {
+        // Warm up database, crypto and JSON in the background during login and 2FA
+        StartupWarmup.start();
+
         // Use SwingUtilities to ensure thread safety
         SwingUtilities.invokeLater(() -> {
             try {
@@ -162,6 +167,7 @@ public class LoginFrame extends JFrame {
 
             LoginFrame frame = new LoginFrame();
             frame.setVisible(true);
+            StartupWarmup.reportSinceJvmStart("Login window shown");
 
             // Display usage information
             System.out.println("=================================");
@@ -1,3 +1,5 @@
+package com.student.login;
+
 import org.apache.commons.codec.binary.Base32;
 
 import javax.crypto.Mac;
@@ -1,3 +1,5 @@
+package com.student.login;
+
 import java.time.LocalDateTime;
 
 public class Order {
@@ -7,6 +9,7 @@ public class Order {
     private String customer;
     private String itemsJson;
     private OrderStatus status;
+    private int version;
 
     // Required for Jackson / frameworks
     public Order() {}
@@ -24,8 +27,14 @@ public class Order {
     public String getCustomer() { return customer; }
     public String getItemsJson() { return itemsJson; }
     public OrderStatus getStatus() { return status; }
+    public int getVersion() { return version; }
 
     public void setStatus(OrderStatus status) {
         this.status = status;
     }
+
+    // Incremented by the database on every status change, for optimistic locking
+    public void setVersion(int version) {
+        this.version = version;
+    }
 }
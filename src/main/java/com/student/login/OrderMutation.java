@@ -0,0 +1,72 @@
+package com.student.login;
+
+import java.time.LocalDateTime;
+
+/**
+ * A single change to the orders table, as recorded in the write-behind journal
+ */
+public class OrderMutation {
+
+    public enum Type {
+        INSERT,
+        DELETE,
+        STATUS
+    }
+
+    private long seq;
+    private Type type;
+    private String orderId;
+    private LocalDateTime date;
+    private String customer;
+    private String itemsJson;
+    private OrderStatus status;
+    // STATUS only: what the caller read, checked again when applied
+    private OrderStatus fromStatus;
+    private Integer version;
+
+    // Required for Jackson
+    public OrderMutation() {}
+
+    private OrderMutation(Type type, String orderId) {
+        this.type = type;
+        this.orderId = orderId;
+    }
+
+    public static OrderMutation insert(Order order) {
+        OrderMutation mutation = new OrderMutation(Type.INSERT, order.getId());
+        mutation.date = order.getDate();
+        mutation.customer = order.getCustomer();
+        mutation.itemsJson = order.getItemsJson();
+        mutation.status = order.getStatus();
+        return mutation;
+    }
+
+    public static OrderMutation delete(String orderId) {
+        return new OrderMutation(Type.DELETE, orderId);
+    }
+
+    /**
+     * Moves order to target, provided its status and version are still what the caller read
+     */
+    public static OrderMutation status(Order order, OrderStatus target) {
+        OrderMutation mutation = new OrderMutation(Type.STATUS, order.getId());
+        mutation.status = target;
+        mutation.fromStatus = order.getStatus();
+        mutation.version = order.getVersion();
+        return mutation;
+    }
+
+    public long getSeq() { return seq; }
+    public Type getType() { return type; }
+    public String getOrderId() { return orderId; }
+    public LocalDateTime getDate() { return date; }
+    public String getCustomer() { return customer; }
+    public String getItemsJson() { return itemsJson; }
+    public OrderStatus getStatus() { return status; }
+    public OrderStatus getFromStatus() { return fromStatus; }
+    public Integer getVersion() { return version; }
+
+    void setSeq(long seq) {
+        this.seq = seq;
+    }
+}
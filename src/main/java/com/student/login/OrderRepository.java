@@ -0,0 +1,347 @@
+package com.student.login;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC access to the orders table
+ * Holds the queries used by OrdersFrame so they can run without the UI
+ */
+public class OrderRepository {
+
+    // Column sizes from the orders schema in README
+    public static final int MAX_ID_LENGTH = 50;
+    public static final int MAX_CUSTOMER_LENGTH = 100;
+
+    private final String url;
+    private final String user;
+    private final String password;
+
+    public OrderRepository(String url, String user, String password) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+    }
+
+    public Connection getConnection() throws SQLException {
+        return DriverManager.getConnection(url, user, password);
+    }
+
+    /* ---------------- QUERIES ---------------- */
+
+    public List<Order> findAll() throws SQLException {
+        try (Connection conn = getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM orders")) {
+
+            return readOrders(rs);
+        }
+    }
+
+    public List<Order> findById(String orderId) throws SQLException {
+        try (Connection conn = getConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                     "SELECT * FROM orders WHERE id = ?")) {
+
+            ps.setString(1, orderId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return readOrders(rs);
+            }
+        }
+    }
+
+    /**
+     * @param date Order date formatted as YYYY-MM-DD
+     */
+    public List<Order> findByDate(String date) throws SQLException {
+        try (Connection conn = getConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                     "SELECT * FROM orders WHERE DATE(date) = ?")) {
+
+            ps.setString(1, date);
+            try (ResultSet rs = ps.executeQuery()) {
+                return readOrders(rs);
+            }
+        }
+    }
+
+    /* ---------------- MUTATIONS ---------------- */
+
+    public void insert(Order order) throws SQLException {
+        try (Connection conn = getConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                     "INSERT INTO orders (id, date, customer, items, status) VALUES (?, ?, ?, ?, ?)")) {
+
+            ps.setString(1, order.getId());
+            ps.setTimestamp(2, Timestamp.valueOf(order.getDate()));
+            ps.setString(3, order.getCustomer());
+            ps.setString(4, order.getItemsJson());
+            ps.setString(5, order.getStatus().name());
+            ps.executeUpdate();
+        }
+    }
+
+    public void delete(String orderId) throws SQLException {
+        try (Connection conn = getConnection();
+             PreparedStatement ps =
+                     conn.prepareStatement("DELETE FROM orders WHERE id=?")) {
+
+            ps.setString(1, orderId);
+            ps.executeUpdate();
+        }
+    }
+
+    /* ---------------- WRITE-BEHIND JOURNAL ---------------- */
+
+    /**
+     * Creates the checkpoint row for a write-behind journal if needed
+     *
+     * @return Last journal sequence number committed to the database
+     */
+    public long initJournalCheckpoint(String journalId) throws SQLException {
+        try (Connection conn = getConnection()) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE IF NOT EXISTS order_journal_checkpoint (" +
+                        "journal_id VARCHAR(36) PRIMARY KEY, seq BIGINT NOT NULL)");
+            }
+
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "SELECT seq FROM order_journal_checkpoint WHERE journal_id=?")) {
+                ps.setString(1, journalId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next()) return rs.getLong(1);
+                }
+            }
+
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO order_journal_checkpoint (journal_id, seq) VALUES (?, 0)")) {
+                ps.setString(1, journalId);
+                ps.executeUpdate();
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Applies journaled mutations in order within a single transaction
+     * The journal checkpoint is advanced in the same transaction, and mutations
+     * at or below it are skipped, so replaying a journal never repeats a write.
+     * Consecutive mutations of the same type are sent as one JDBC batch.
+     * A status change only applies if the order still has the status and
+     * version it was read with; otherwise it changes nothing and is added to conflicts.
+     *
+     * @return The journal checkpoint after the commit
+     */
+    public long applyMutations(String journalId, List<OrderMutation> mutations,
+                               List<OrderMutation> conflicts) throws SQLException {
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement insert = conn.prepareStatement(
+                         "INSERT INTO orders (id, date, customer, items, status) VALUES (?, ?, ?, ?, ?)");
+                 PreparedStatement delete = conn.prepareStatement(
+                         "DELETE FROM orders WHERE id=?");
+                 PreparedStatement status = conn.prepareStatement(
+                         "UPDATE orders SET status=?, version=version+1 WHERE id=? AND status=? AND version=?")) {
+
+                long checkpoint = lockJournalCheckpoint(conn, journalId);
+                long lastSeq = checkpoint;
+                List<OrderMutation> conflictsFound = new ArrayList<>();
+
+                PreparedStatement pending = null;
+                List<OrderMutation> pendingMutations = new ArrayList<>();
+                for (OrderMutation mutation : mutations) {
+                    if (mutation.getSeq() <= checkpoint) continue;
+                    lastSeq = Math.max(lastSeq, mutation.getSeq());
+
+                    PreparedStatement ps;
+                    switch (mutation.getType()) {
+                        case INSERT:
+                            ps = insert;
+                            ps.setString(1, mutation.getOrderId());
+                            ps.setTimestamp(2, Timestamp.valueOf(mutation.getDate()));
+                            ps.setString(3, mutation.getCustomer());
+                            ps.setString(4, mutation.getItemsJson());
+                            ps.setString(5, mutation.getStatus().name());
+                            break;
+                        case DELETE:
+                            ps = delete;
+                            ps.setString(1, mutation.getOrderId());
+                            break;
+                        case STATUS:
+                            ps = status;
+                            ps.setString(1, mutation.getStatus().name());
+                            ps.setString(2, mutation.getOrderId());
+                            ps.setString(3, mutation.getFromStatus().name());
+                            ps.setInt(4, mutation.getVersion());
+                            break;
+                        default:
+                            throw new IllegalArgumentException("Unknown mutation: " + mutation.getType());
+                    }
+
+                    // Keep statement order: flush the previous batch before switching statements
+                    if (pending != null && pending != ps) {
+                        executeBatch(pending, pendingMutations, conflictsFound);
+                    }
+                    ps.addBatch();
+                    pending = ps;
+                    pendingMutations.add(mutation);
+                }
+                if (pending != null) {
+                    executeBatch(pending, pendingMutations, conflictsFound);
+                }
+
+                updateJournalCheckpoint(conn, journalId, lastSeq);
+                conn.commit();
+                conflicts.addAll(conflictsFound);
+                return lastSeq;
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            }
+        }
+    }
+
+    /**
+     * Runs the batch and adds status changes that matched no row to conflicts
+     */
+    private void executeBatch(PreparedStatement ps, List<OrderMutation> batched,
+                              List<OrderMutation> conflicts) throws SQLException {
+        int[] counts = ps.executeBatch();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0 && batched.get(i).getType() == OrderMutation.Type.STATUS) {
+                conflicts.add(batched.get(i));
+            }
+        }
+        batched.clear();
+    }
+
+    /**
+     * Moves the journal checkpoint past a mutation without applying it
+     *
+     * @return The journal checkpoint after the commit
+     */
+    public long skipMutation(String journalId, long seq) throws SQLException {
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                long checkpoint = Math.max(lockJournalCheckpoint(conn, journalId), seq);
+                updateJournalCheckpoint(conn, journalId, checkpoint);
+                conn.commit();
+                return checkpoint;
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            }
+        }
+    }
+
+    private long lockJournalCheckpoint(Connection conn, String journalId) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT seq FROM order_journal_checkpoint WHERE journal_id=? FOR UPDATE")) {
+            ps.setString(1, journalId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("No checkpoint for journal " + journalId);
+                }
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private void updateJournalCheckpoint(Connection conn, String journalId, long seq) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "UPDATE order_journal_checkpoint SET seq=? WHERE journal_id=?")) {
+            ps.setLong(1, seq);
+            ps.setString(2, journalId);
+            ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Data errors (class 22) and constraint violations (class 23) fail the same
+     * way on every retry; anything else, such as a lost connection, may not
+     */
+    public static boolean isPermanentFailure(SQLException ex) {
+        for (SQLException e = ex; e != null; e = e.getNextException()) {
+            if (e instanceof SQLDataException || e instanceof SQLIntegrityConstraintViolationException) {
+                return true;
+            }
+            String state = e.getSQLState();
+            if (state != null && (state.startsWith("22") || state.startsWith("23"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves the given orders from one status to another in a single UPDATE
+     * An order is only changed if its status and version still match what the
+     * caller read, so rows changed concurrently by someone else are skipped.
+     *
+     * @return Number of orders updated
+     */
+    public int updateStatusIfUnchanged(List<Order> orders, OrderStatus from, OrderStatus to)
+            throws SQLException {
+        if (orders.isEmpty()) return 0;
+
+        StringBuilder sql = new StringBuilder(
+                "UPDATE orders SET status=?, version=version+1 WHERE status=? AND (id, version) IN (");
+        for (int i = 0; i < orders.size(); i++) {
+            sql.append(i == 0 ? "(?, ?)" : ", (?, ?)");
+        }
+        sql.append(")");
+
+        try (Connection conn = getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+
+            int index = 1;
+            ps.setString(index++, to.name());
+            ps.setString(index++, from.name());
+            for (Order order : orders) {
+                ps.setString(index++, order.getId());
+                ps.setInt(index++, order.getVersion());
+            }
+            return ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Moves up to limit orders dated before the given time from one status to another
+     *
+     * @return Number of orders updated; less than limit when none are left
+     */
+    public int updateStatusBefore(LocalDateTime before, OrderStatus from, OrderStatus to, int limit)
+            throws SQLException {
+        try (Connection conn = getConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                     "UPDATE orders SET status=?, version=version+1 WHERE status=? AND date < ? LIMIT ?")) {
+
+            ps.setString(1, to.name());
+            ps.setString(2, from.name());
+            ps.setTimestamp(3, Timestamp.valueOf(before));
+            ps.setInt(4, limit);
+            return ps.executeUpdate();
+        }
+    }
+
+    private List<Order> readOrders(ResultSet rs) throws SQLException {
+        List<Order> orders = new ArrayList<>();
+        while (rs.next()) {
+            Timestamp date = rs.getTimestamp("date");
+            Order order = new Order(
+                    rs.getString("id"),
+                    date != null ? date.toLocalDateTime() : null,
+                    rs.getString("customer"),
+                    rs.getString("items")
+            );
+            order.setStatus(OrderStatus.fromDatabase(rs.getString("status")));
+            order.setVersion(rs.getInt("version"));
+            orders.add(order);
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,58 @@
+package com.student.login;
+
+import java.util.Locale;
+
+/**
+ * Order lifecycle: PENDING -> COMPLETED -> ARCHIVED
+ */
+public enum OrderStatus {
+    PENDING,
+    COMPLETED,
+    ARCHIVED;
+
+    /**
+     * @return The only status this one may move to, or null for ARCHIVED
+     */
+    public OrderStatus next() {
+        switch (this) {
+            case PENDING:
+                return COMPLETED;
+            case COMPLETED:
+                return ARCHIVED;
+            default:
+                return null;
+        }
+    }
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return next() == target;
+    }
+
+    /**
+     * Lenient mapping of the orders.status column, which is free text and nullable
+     *
+     * @return The matching status ignoring case and surrounding spaces, or null if unknown
+     */
+    public static OrderStatus fromDatabase(String value) {
+        if (value == null) return null;
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            System.out.println("Unknown order status in database: " + value);
+            return null;
+        }
+    }
+
+    /**
+     * @return The status an order must have to move to target
+     * @throws IllegalArgumentException if no status leads to target
+     */
+    public static OrderStatus previous(OrderStatus target) {
+        for (OrderStatus status : values()) {
+            if (status.canTransitionTo(target)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("No transition leads to " + target);
+    }
+}
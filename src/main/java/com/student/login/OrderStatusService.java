@@ -0,0 +1,93 @@
+package com.student.login;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Validated order status transitions (PENDING -> COMPLETED -> ARCHIVED)
+ *
+ * Bulk changes run as set-based UPDATEs of at most CHUNK_SIZE rows each, so
+ * a large selection neither sends one statement per order nor holds row
+ * locks for the whole operation. Changes to selected orders carry the
+ * version read with them; orders another operator changed in the meantime
+ * are left alone and reported as conflicts.
+ */
+public class OrderStatusService {
+
+    public static final int CHUNK_SIZE = 500;
+
+    private final OrderRepository repository;
+
+    public OrderStatusService(OrderRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Moves the given orders to target
+     * Orders whose current status cannot move to target are not sent to the database.
+     */
+    public TransitionResult transition(List<Order> orders, OrderStatus target) throws SQLException {
+        OrderStatus from = OrderStatus.previous(target);
+
+        List<Order> valid = new ArrayList<>();
+        for (Order order : orders) {
+            if (order.getStatus() != null && order.getStatus().canTransitionTo(target)) {
+                valid.add(order);
+            }
+        }
+
+        int updated = 0;
+        for (int start = 0; start < valid.size(); start += CHUNK_SIZE) {
+            List<Order> chunk = valid.subList(start, Math.min(start + CHUNK_SIZE, valid.size()));
+            updated += repository.updateStatusIfUnchanged(chunk, from, target);
+        }
+
+        return new TransitionResult(orders.size(), updated,
+                orders.size() - valid.size(), valid.size() - updated);
+    }
+
+    /**
+     * Moves every order dated before the given time that is in the status preceding target
+     *
+     * @return Number of orders updated
+     */
+    public int transitionBefore(LocalDateTime before, OrderStatus target) throws SQLException {
+        OrderStatus from = OrderStatus.previous(target);
+
+        int total = 0;
+        int updated;
+        do {
+            updated = repository.updateStatusBefore(before, from, target, CHUNK_SIZE);
+            total += updated;
+        } while (updated == CHUNK_SIZE);
+        return total;
+    }
+
+    /**
+     * Outcome of a bulk transition
+     */
+    public static class TransitionResult {
+        private final int requested;
+        private final int updated;
+        private final int invalid;
+        private final int conflicts;
+
+        public TransitionResult(int requested, int updated, int invalid, int conflicts) {
+            this.requested = requested;
+            this.updated = updated;
+            this.invalid = invalid;
+            this.conflicts = conflicts;
+        }
+
+        public int getRequested() { return requested; }
+        public int getUpdated() { return updated; }
+
+        /** Orders whose status does not allow the transition */
+        public int getInvalid() { return invalid; }
+
+        /** Orders changed or deleted by someone else since they were read */
+        public int getConflicts() { return conflicts; }
+    }
+}
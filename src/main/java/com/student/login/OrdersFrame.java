@@ -0,0 +1,597 @@
+package com.student.login;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+public class OrdersFrame extends JFrame {
+
+    private String username;
+    private JTable ordersTable;
+    private DefaultTableModel tableModel;
+    private JButton addOrderButton, deleteOrderButton, refreshButton, logoutButton;
+    private JButton searchByIdButton, searchByDateButton;
+    private JButton completeButton, archiveButton, completeBeforeButton;
+
+    private JLabel statusLabel;
+
+    static final boolean ENABLE_S3 = false;
+    private static final int VERSION_COLUMN = 5;
+
+    // MySQL configuration
+    static final String MYSQL_URL = "jdbc:mysql://localhost:3306/orders_db";
+    static final String MYSQL_USER = "root";
+    static final String MYSQL_PASS = "";
+    private final OrderRepository repository =
+            new OrderRepository(MYSQL_URL, MYSQL_USER, MYSQL_PASS);
+
+    // Write-behind: acknowledge writes from a local journal, apply to MySQL in batches
+    private static final boolean ENABLE_WRITE_BEHIND = false;
+    private static final String JOURNAL_DIR = "order-journal";
+    private static final long PENDING_WRITES_TIMEOUT_SECONDS = 5;
+    private WriteBehindOrderQueue writeQueue;
+    private final OrderStatusService statusService = new OrderStatusService(repository);
+
+    // AWS S3 (client and ObjectMapper come from StartupWarmup on first use)
+    private static final String BUCKET = "your-s3-bucket-name";
+
+    private final long openedAt = System.nanoTime();
+    private boolean firstLoadDone;
+    private int tableGeneration;
+    private boolean loading;
+
+    public OrdersFrame(String username) {
+        this.username = username;
+
+        System.out.println("OrdersFrame constructor called for user: " + username);
+
+        initializeComponents();
+        setupLayout();
+        setupEventHandlers();
+
+        if (ENABLE_WRITE_BEHIND) {
+            // Loads the orders once the journal has been read
+            startWriteQueue();
+        } else {
+            loadOrdersFromDatabase();
+        }
+
+        setTitle("Orders Management System - " + username);
+        setSize(900, 500);
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setLocationRelativeTo(null);
+        setVisible(true);
+        StartupWarmup.reportSince("Orders window shown", openedAt);
+    }
+
+    private void initializeComponents() {
+        String[] columnNames = {"Order ID", "Customer", "Items", "Date", "Status", "Version"};
+        tableModel = new DefaultTableModel(columnNames, 0) {
+            public boolean isCellEditable(int r, int c) { return false; }
+        };
+
+        ordersTable = new JTable(tableModel);
+        ordersTable.setRowHeight(25);
+        // Version stays in the model for optimistic status updates, but is not shown
+        ordersTable.removeColumn(ordersTable.getColumnModel().getColumn(VERSION_COLUMN));
+
+        addOrderButton = new JButton("Add Order");
+        deleteOrderButton = new JButton("Delete Order");
+        refreshButton = new JButton("Refresh");
+        logoutButton = new JButton("Logout");
+        searchByIdButton = new JButton("Search by Order ID");
+        searchByDateButton = new JButton("Search by Date");
+        completeButton = new JButton("Complete Selected");
+        archiveButton = new JButton("Archive Selected");
+        completeBeforeButton = new JButton("Complete Before Date");
+
+        statusLabel = new JLabel("Welcome, " + username + "!");
+    }
+
+    private void setupLayout() {
+        setLayout(new BorderLayout(10, 10));
+
+        add(statusLabel, BorderLayout.NORTH);
+        add(new JScrollPane(ordersTable), BorderLayout.CENTER);
+
+        JPanel bottom = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        bottom.add(addOrderButton);
+        bottom.add(deleteOrderButton);
+        bottom.add(refreshButton);
+        bottom.add(searchByIdButton);
+        bottom.add(searchByDateButton);
+        bottom.add(logoutButton);
+
+        JPanel statusActions = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        statusActions.add(completeButton);
+        statusActions.add(archiveButton);
+        statusActions.add(completeBeforeButton);
+
+        JPanel south = new JPanel(new GridLayout(2, 1));
+        south.add(bottom);
+        south.add(statusActions);
+        add(south, BorderLayout.SOUTH);
+    }
+
+    private void setupEventHandlers() {
+        addOrderButton.addActionListener(e -> addNewOrder());
+        deleteOrderButton.addActionListener(e -> deleteSelectedOrder());
+        refreshButton.addActionListener(e -> loadOrdersFromDatabase());
+        logoutButton.addActionListener(e -> logout());
+        searchByIdButton.addActionListener(e -> searchByOrderId());
+        searchByDateButton.addActionListener(e -> searchByDate());
+        completeButton.addActionListener(e -> transitionSelected(OrderStatus.COMPLETED));
+        archiveButton.addActionListener(e -> transitionSelected(OrderStatus.ARCHIVED));
+        completeBeforeButton.addActionListener(e -> completeBeforeDate());
+
+    }
+
+    /* ---------------- DATABASE ---------------- */
+
+    /**
+     * Reads the local journal in the background; writes stay disabled until that is done
+     * Replaying the journal into MySQL continues in the queue's own thread, and
+     * the database may be unreachable meanwhile.
+     */
+    private void startWriteQueue() {
+        setWriteButtonsEnabled(false);
+        statusLabel.setText("Loading orders...");
+        WriteBehindOrderQueue queue = new WriteBehindOrderQueue(repository, Paths.get(JOURNAL_DIR));
+
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                queue.start();
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    get();
+                } catch (Exception ex) {
+                    Throwable cause = ex instanceof ExecutionException ? ex.getCause() : ex;
+                    cause.printStackTrace();
+                    // Writing directly now would let the unreplayed journal overwrite newer changes later
+                    JOptionPane.showMessageDialog(OrdersFrame.this,
+                            "The order journal could not be read: " + cause.getMessage()
+                                    + "\nChanges are disabled until the application is restarted.",
+                            "Write-behind",
+                            JOptionPane.ERROR_MESSAGE);
+                    loadOrdersFromDatabase();
+                    return;
+                }
+
+                if (!isDisplayable()) {
+                    // Logged out meanwhile
+                    closeQuietly(queue);
+                    return;
+                }
+                writeQueue = queue;
+                setWriteButtonsEnabled(true);
+                // Waits for the replay of journaled changes, so they show up
+                loadOrdersFromDatabase();
+            }
+        }.execute();
+    }
+
+    private void setWriteButtonsEnabled(boolean enabled) {
+        for (JButton button : new JButton[]{addOrderButton, deleteOrderButton,
+                completeButton, archiveButton, completeBeforeButton}) {
+            button.setEnabled(enabled);
+        }
+    }
+
+    /**
+     * Loads in the background so the window appears before the query finishes
+     */
+    private void loadOrdersFromDatabase() {
+        System.out.println("Loading orders from database...");
+        statusLabel.setText("Loading orders...");
+        int generation = ++tableGeneration;
+        loading = true;
+        WriteBehindOrderQueue queue = writeQueue;
+
+        new SwingWorker<List<Order>, Void>() {
+            @Override
+            protected List<Order> doInBackground() throws Exception {
+                if (queue != null) {
+                    // Include what was journaled before this load; MySQL may trail the journal
+                    try {
+                        queue.flush(PENDING_WRITES_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                    } catch (IOException ex) {
+                        ex.printStackTrace();
+                    }
+                }
+                return repository.findAll();
+            }
+
+            @Override
+            protected void done() {
+                // A search or newer load owns the table now
+                if (generation != tableGeneration) return;
+
+                loading = false;
+                statusLabel.setText("Welcome, " + username + "!");
+                tableModel.setRowCount(0);
+                try {
+                    showOrders(get());
+                } catch (Exception ex) {
+                    Throwable cause = ex instanceof ExecutionException ? ex.getCause() : ex;
+                    cause.printStackTrace();
+                    JOptionPane.showMessageDialog(OrdersFrame.this, cause.getMessage());
+                }
+
+                if (!firstLoadDone) {
+                    firstLoadDone = true;
+                    StartupWarmup.reportSince("Orders loaded", openedAt);
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Stops a background load still in flight from overwriting search results
+     */
+    private void claimTable() {
+        tableGeneration++;
+        loading = false;
+        statusLabel.setText("Welcome, " + username + "!");
+    }
+
+    /**
+     * Shows a journaled change without waiting for MySQL to catch up
+     * A load still in flight may or may not include the change, so it is
+     * restarted instead; the new load waits for the journal first.
+     */
+    private void showJournaledChange(Runnable updateTable) {
+        if (loading) {
+            loadOrdersFromDatabase();
+        } else {
+            updateTable.run();
+        }
+    }
+
+    private void showOrders(List<Order> orders) {
+        for (Order order : orders) {
+            tableModel.addRow(new Object[]{
+                    order.getId(),
+                    order.getCustomer(),
+                    order.getItemsJson(),
+                    order.getDate(),
+                    order.getStatus(),
+                    order.getVersion()
+            });
+        }
+    }
+
+    private void addNewOrder() {
+        JTextField customerField = new JTextField();
+        JTextField itemsField = new JTextField();
+
+        JPanel panel = new JPanel(new GridLayout(2, 2));
+        panel.add(new JLabel("Customer:"));
+        panel.add(customerField);
+        panel.add(new JLabel("Items JSON:"));
+        panel.add(itemsField);
+
+        if (JOptionPane.showConfirmDialog(this, panel, "Add Order",
+                JOptionPane.OK_CANCEL_OPTION) != JOptionPane.OK_OPTION) return;
+
+        String orderId = newOrderId();
+        LocalDateTime orderDate = LocalDateTime.now();
+        Order order = new Order(orderId, orderDate,
+                customerField.getText(), itemsField.getText());
+
+        try {
+            if (writeQueue != null) {
+                writeQueue.insert(order).get();
+            } else {
+                repository.insert(order);
+            }
+        } catch (ExecutionException ex) {
+            // Rejected by write-behind validation or journal failure
+            ex.getCause().printStackTrace();
+            JOptionPane.showMessageDialog(this, ex.getCause().getMessage());
+            return;
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            JOptionPane.showMessageDialog(this, ex.getMessage());
+            return;
+        }
+
+        if (ENABLE_S3) {
+            try {
+                StartupWarmup.s3Client().putObject(
+                        PutObjectRequest.builder()
+                                .bucket(BUCKET)
+                                .key(orderId + ".json")
+                                .build(),
+                        RequestBody.fromString(StartupWarmup.objectMapper().writeValueAsString(order))
+                );
+            } catch (Exception ex) {
+                ex.printStackTrace();
+            }
+        }
+
+        if (writeQueue != null) {
+            showJournaledChange(() -> showOrders(List.of(order)));
+        } else {
+            loadOrdersFromDatabase();
+        }
+    }
+
+    /**
+     * Unique across operators, so concurrent inserts never share a primary key
+     */
+    private static String newOrderId() {
+        return "ORD-" + UUID.randomUUID();
+    }
+
+    private void deleteSelectedOrder() {
+        int row = ordersTable.getSelectedRow();
+        if (row == -1) return;
+
+        String orderId = tableModel.getValueAt(row, 0).toString();
+
+        try {
+            if (writeQueue != null) {
+                writeQueue.delete(orderId).get();
+                showJournaledChange(() -> tableModel.removeRow(row));
+                return;
+            }
+            repository.delete(orderId);
+        } catch (ExecutionException ex) {
+            ex.getCause().printStackTrace();
+            JOptionPane.showMessageDialog(this, ex.getCause().getMessage());
+            return;
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            JOptionPane.showMessageDialog(this, ex.getMessage());
+        }
+
+        loadOrdersFromDatabase();
+    }
+
+    private void searchByOrderId() {
+        String orderId = JOptionPane.showInputDialog(this, "Enter Order ID:");
+        if (orderId == null || orderId.trim().isEmpty()) return;
+
+        tableModel.setRowCount(0);
+        claimTable();
+
+        try {
+            showOrders(repository.findById(orderId.trim()));
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+            JOptionPane.showMessageDialog(this, ex.getMessage());
+        }
+    }
+    private void searchByDate() {
+        String date = JOptionPane.showInputDialog(this, "Enter Date (YYYY-MM-DD):");
+        if (date == null || date.trim().isEmpty()) return;
+
+        tableModel.setRowCount(0);
+        claimTable();
+
+        try {
+            showOrders(repository.findByDate(date.trim()));
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+            JOptionPane.showMessageDialog(this, ex.getMessage());
+        }
+    }
+
+
+
+    /* ---------------- STATUS ---------------- */
+
+    private void transitionSelected(OrderStatus target) {
+        int[] rows = ordersTable.getSelectedRows();
+        if (rows.length == 0) return;
+
+        List<Order> selected = new ArrayList<>();
+        for (int row : rows) {
+            Order order = new Order(
+                    tableModel.getValueAt(row, 0).toString(),
+                    (LocalDateTime) tableModel.getValueAt(row, 3),
+                    (String) tableModel.getValueAt(row, 1),
+                    (String) tableModel.getValueAt(row, 2));
+            order.setStatus((OrderStatus) tableModel.getValueAt(row, 4));
+            order.setVersion((Integer) tableModel.getValueAt(row, VERSION_COLUMN));
+            selected.add(order);
+        }
+
+        if (writeQueue != null) {
+            queueTransitions(selected, target);
+            return;
+        }
+
+        runStatusTask(new SwingWorker<OrderStatusService.TransitionResult, Void>() {
+            @Override
+            protected OrderStatusService.TransitionResult doInBackground() throws Exception {
+                return statusService.transition(selected, target);
+            }
+
+            @Override
+            protected void done() {
+                finishStatusTask();
+                try {
+                    OrderStatusService.TransitionResult result = get();
+
+                    StringBuilder message = new StringBuilder(String.format(
+                            "Updated %d of %d orders to %s.", result.getUpdated(), result.getRequested(), target));
+                    if (result.getInvalid() > 0) {
+                        message.append(String.format("%n%d not in %s status.",
+                                result.getInvalid(), OrderStatus.previous(target)));
+                    }
+                    if (result.getConflicts() > 0) {
+                        message.append(String.format("%n%d changed by someone else; refresh and retry.",
+                                result.getConflicts()));
+                    }
+                    JOptionPane.showMessageDialog(OrdersFrame.this, message.toString());
+                } catch (Exception ex) {
+                    showTaskError(ex);
+                }
+
+                loadOrdersFromDatabase();
+            }
+        });
+    }
+
+    /**
+     * Journals the changes and updates the rows in place; the database catches up in the background
+     * A change to an order someone else modified meanwhile is moved to the dead-letter file.
+     */
+    private void queueTransitions(List<Order> selected, OrderStatus target) {
+        List<Order> valid = new ArrayList<>();
+        List<CompletableFuture<Void>> acks = new ArrayList<>();
+        for (Order order : selected) {
+            if (order.getStatus() != null && order.getStatus().canTransitionTo(target)) {
+                valid.add(order);
+                acks.add(writeQueue.updateStatus(order, target));
+            }
+        }
+        int invalid = selected.size() - valid.size();
+
+        runStatusTask(new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() {
+                // Waits for the journal fsync only; failures are reported per order in done()
+                for (CompletableFuture<Void> ack : acks) {
+                    ack.exceptionally(ex -> null).join();
+                }
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                finishStatusTask();
+
+                List<Order> queued = new ArrayList<>();
+                Throwable error = null;
+                for (int i = 0; i < valid.size(); i++) {
+                    try {
+                        acks.get(i).get();
+                        queued.add(valid.get(i));
+                    } catch (Exception ex) {
+                        error = ex instanceof ExecutionException ? ex.getCause() : ex;
+                    }
+                }
+
+                showJournaledChange(() -> {
+                    // Rows may have moved while waiting, so find them again
+                    for (Order order : queued) {
+                        for (int row = 0; row < tableModel.getRowCount(); row++) {
+                            if (order.getId().equals(tableModel.getValueAt(row, 0))
+                                    && Integer.valueOf(order.getVersion()).equals(tableModel.getValueAt(row, VERSION_COLUMN))) {
+                                tableModel.setValueAt(target, row, 4);
+                                tableModel.setValueAt(order.getVersion() + 1, row, VERSION_COLUMN);
+                            }
+                        }
+                    }
+                });
+
+                StringBuilder message = new StringBuilder(String.format(
+                        "Updated %d of %d orders to %s.", queued.size(), selected.size(), target));
+                if (invalid > 0) {
+                    message.append(String.format("%n%d not in %s status.", invalid, OrderStatus.previous(target)));
+                }
+                if (error != null) {
+                    error.printStackTrace();
+                    message.append(String.format("%n%d not saved: %s", valid.size() - queued.size(), error.getMessage()));
+                }
+                JOptionPane.showMessageDialog(OrdersFrame.this, message.toString());
+            }
+        });
+    }
+
+    private void completeBeforeDate() {
+        String date = JOptionPane.showInputDialog(this, "Complete PENDING orders before (YYYY-MM-DD):");
+        if (date == null || date.trim().isEmpty()) return;
+
+        LocalDateTime before;
+        try {
+            before = LocalDate.parse(date.trim()).atStartOfDay();
+        } catch (DateTimeParseException ex) {
+            JOptionPane.showMessageDialog(this, "Invalid date: " + date);
+            return;
+        }
+
+        runStatusTask(new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() throws Exception {
+                // This UPDATE goes straight to MySQL, so journaled writes have to reach it first;
+                // otherwise it runs ahead of earlier changes
+                if (writeQueue != null
+                        && !writeQueue.flush(PENDING_WRITES_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException(
+                            "Recent changes are still being saved to the database. Please try again shortly.");
+                }
+                return statusService.transitionBefore(before, OrderStatus.COMPLETED);
+            }
+
+            @Override
+            protected void done() {
+                finishStatusTask();
+                try {
+                    JOptionPane.showMessageDialog(OrdersFrame.this, "Completed " + get() + " orders.");
+                } catch (Exception ex) {
+                    showTaskError(ex);
+                }
+
+                loadOrdersFromDatabase();
+            }
+        });
+    }
+
+    /**
+     * Runs a status change off the EDT; changes stay disabled until it is done
+     */
+    private void runStatusTask(SwingWorker<?, ?> task) {
+        setWriteButtonsEnabled(false);
+        task.execute();
+    }
+
+    private void finishStatusTask() {
+        setWriteButtonsEnabled(true);
+    }
+
+    private void showTaskError(Exception ex) {
+        Throwable cause = ex instanceof ExecutionException ? ex.getCause() : ex;
+        cause.printStackTrace();
+        JOptionPane.showMessageDialog(this, cause.getMessage());
+    }
+
+    private void logout() {
+        if (writeQueue != null) {
+            closeQuietly(writeQueue);
+        }
+        dispose();
+        new LoginFrame().setVisible(true);
+    }
+
+    private static void closeQuietly(WriteBehindOrderQueue queue) {
+        try {
+            queue.close();
+        } catch (Exception ex) {
+            // Still journaled; replayed on next start
+            ex.printStackTrace();
+        }
+    }
+}
@@ -1,3 +1,5 @@
+package com.student.login;
+
 import com.google.zxing.*;
 import com.google.zxing.client.j2se.MatrixToImageWriter;
 import com.google.zxing.common.BitMatrix;
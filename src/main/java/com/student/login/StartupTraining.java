@@ -0,0 +1,39 @@
+package com.student.login;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+
+/**
+ * Headless training run for the AppCDS archive (mvn clean package -Pappcds)
+ *
+ * Loads the classes a normal start needs: the warm-up subsystems, the look
+ * and feel and the Swing components used by the frames. Windows themselves
+ * cannot be created without a display, so only their classes are loaded.
+ */
+public class StartupTraining {
+
+    public static void main(String[] args) throws Exception {
+        long start = System.nanoTime();
+
+        StartupWarmup.runAll();
+
+        UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
+
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.add(new JLabel("Username:"), new GridBagConstraints());
+        panel.add(new JTextField(20));
+        panel.add(new JPasswordField(20));
+        panel.add(new JButton("Login"));
+        panel.add(new JScrollPane(new JTable(new DefaultTableModel(new String[]{"Order ID"}, 0))));
+        new JPanel(new BorderLayout()).add(panel, BorderLayout.CENTER);
+        new ImageIcon();
+
+        Class.forName(LoginFrame.class.getName());
+        Class.forName(TwoFAFrame.class.getName());
+        Class.forName(OrdersFrame.class.getName());
+
+        StartupWarmup.reportSince("Training run finished", start);
+        StartupWarmup.reportSinceJvmStart("Training run finished");
+    }
+}
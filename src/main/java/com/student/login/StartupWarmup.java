@@ -0,0 +1,182 @@
+package com.student.login;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Warms up heavy subsystems in the background while the user is at the login and 2FA screens
+ *
+ * Started from LoginFrame.main. Covers the JDBC driver and first connection,
+ * the Mac/Base32 primitives behind OTP verification, QR code rendering, and
+ * the ObjectMapper and S3 client used by OrdersFrame. The ObjectMapper and
+ * S3 client are handed out from here; when warm-up was never started they
+ * are simply created on first use.
+ *
+ * Order data is not prefetched: nothing is read before 2FA has succeeded.
+ */
+public final class StartupWarmup {
+
+    private static final String SECRET_KEY = "JBSWY3DPEHPK3PXP";
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(2, new ThreadFactory());
+
+    private static CompletableFuture<ObjectMapper> objectMapper;
+    private static CompletableFuture<S3Client> s3Client;
+    private static boolean started;
+
+    private StartupWarmup() {}
+
+    /**
+     * Starts all warm-up tasks in the background; later calls do nothing
+     */
+    public static synchronized void start() {
+        if (started) return;
+        started = true;
+
+        EXECUTOR.execute(StartupWarmup::warmDatabase);
+        EXECUTOR.execute(StartupWarmup::warmOtp);
+        EXECUTOR.execute(StartupWarmup::warmQRCode);
+        objectMapperFuture();
+        if (OrdersFrame.ENABLE_S3) {
+            s3ClientFuture();
+        }
+    }
+
+    /**
+     * Runs the warm-up tasks on the calling thread, for the AppCDS training run
+     * Only the JDBC driver is loaded: the build must not need a MySQL server.
+     */
+    static void runAll() {
+        loadDatabaseDriver();
+        warmOtp();
+        warmQRCode();
+        objectMapper();
+        if (OrdersFrame.ENABLE_S3) {
+            s3Client();
+        }
+    }
+
+    /* ---------------- SHARED INSTANCES ---------------- */
+
+    public static ObjectMapper objectMapper() {
+        return objectMapperFuture().join();
+    }
+
+    public static S3Client s3Client() {
+        return s3ClientFuture().join();
+    }
+
+    private static synchronized CompletableFuture<ObjectMapper> objectMapperFuture() {
+        if (objectMapper == null) {
+            objectMapper = CompletableFuture.supplyAsync(() ->
+                    new ObjectMapper().registerModule(new JavaTimeModule()), EXECUTOR);
+        }
+        return objectMapper;
+    }
+
+    private static synchronized CompletableFuture<S3Client> s3ClientFuture() {
+        if (s3Client == null) {
+            s3Client = CompletableFuture.supplyAsync(() ->
+                    S3Client.builder()
+                            .credentialsProvider(DefaultCredentialsProvider.create())
+                            .build(), EXECUTOR);
+        }
+        return s3Client;
+    }
+
+    /* ---------------- WARM-UP TASKS ---------------- */
+
+    /**
+     * Loads the driver and opens one connection, which loads the protocol,
+     * authentication and TLS classes the first query would otherwise pay for
+     */
+    private static void warmDatabase() {
+        if (!loadDatabaseDriver()) return;
+
+        try (Connection conn = DriverManager.getConnection(
+                OrdersFrame.MYSQL_URL, OrdersFrame.MYSQL_USER, OrdersFrame.MYSQL_PASS)) {
+            conn.isValid(1);
+        } catch (Exception ex) {
+            // OrdersFrame reports database problems when it actually needs the database
+            System.out.println("Database warm-up skipped: " + ex.getMessage());
+        }
+    }
+
+    private static boolean loadDatabaseDriver() {
+        try {
+            Class.forName("com.mysql.cj.jdbc.Driver");
+            return true;
+        } catch (ClassNotFoundException ex) {
+            System.out.println("Database warm-up skipped: " + ex.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Loads the JCA provider, HmacSHA1 and Base32 through the real verification path
+     */
+    private static void warmOtp() {
+        OTPServer.verifyOTP(SECRET_KEY, "000000");
+        TwoFAFrame.generateTOTP(SECRET_KEY, System.currentTimeMillis() / 1000);
+    }
+
+    /**
+     * Loads ZXing and the ImageIO PNG writer used by TwoFAFrame
+     */
+    private static void warmQRCode() {
+        try {
+            Path file = Files.createTempFile("qrcode-warmup", ".png");
+            try {
+                QRCodeUtil.generateQRCode("otpauth://totp/SecureLogin:warmup?secret=" + SECRET_KEY, file.toString());
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } catch (Exception ex) {
+            System.out.println("QR code warm-up skipped: " + ex.getMessage());
+        }
+    }
+
+    /* ---------------- MEASUREMENT ---------------- */
+
+    /**
+     * Prints how long after JVM start a window became usable
+     */
+    public static void reportSinceJvmStart(String what) {
+        System.out.println(what + " after " + ManagementFactory.getRuntimeMXBean().getUptime()
+                + " ms (since JVM start)");
+    }
+
+    /**
+     * Prints how long something took since the given System.nanoTime() value
+     */
+    public static void reportSince(String what, long startNanos) {
+        System.out.println(what + " after " + (System.nanoTime() - startNanos) / 1_000_000 + " ms");
+    }
+
+    /**
+     * Low-priority daemon threads, so warm-up never delays the UI or JVM exit
+     */
+    private static class ThreadFactory implements java.util.concurrent.ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "startup-warmup-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }
+    }
+}
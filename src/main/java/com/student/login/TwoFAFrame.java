@@ -1,3 +1,5 @@
+package com.student.login;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
@@ -0,0 +1,652 @@
+package com.student.login;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Write-behind queue for order inserts, deletes and status changes
+ *
+ * A mutation is validated, then acknowledged once it is appended and fsynced
+ * to a local journal; concurrent submissions share one fsync. A background
+ * thread applies acknowledged mutations to the database in group-committed
+ * batches. Each batch also advances this journal's checkpoint row in
+ * order_journal_checkpoint within the same transaction, so on start the
+ * journal entries after the checkpoint are replayed exactly once.
+ *
+ * start() only reads the local journal, so writes are accepted even while
+ * the database is unreachable. The background thread keeps retrying until
+ * it has read the checkpoint and replayed the old journal; flush() does not
+ * return before that.
+ *
+ * A mutation the database rejects for good (bad data, duplicate key) is
+ * moved to the dead-letter file instead of blocking the writes behind it.
+ * So is a status change whose order was changed by someone else after it
+ * was read (optimistic locking on status and version).
+ * Connection problems are retried until they clear.
+ *
+ * Journal layout (one directory):
+ *   journal.id              identifies this journal's checkpoint row
+ *   journal-&lt;firstSeq&gt;.log  JSON line per mutation, rolled every segmentRecords
+ *   dead-letter.log         rejected mutations with the database error
+ */
+public class WriteBehindOrderQueue implements AutoCloseable {
+
+    private static final int MAX_BATCH = 500;
+    private static final long FLUSH_INTERVAL_MILLIS = 50;
+    private static final int SEGMENT_RECORDS = 10_000;
+    private static final long MAX_RETRY_DELAY_MILLIS = 5_000;
+    private static final long CLOSE_TIMEOUT_MILLIS = 10_000;
+    private static final long THREAD_JOIN_MILLIS = 1_000;
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String JOURNAL_ID = "journal.id";
+    private static final String DEAD_LETTER = "dead-letter.log";
+
+    private final OrderRepository repository;
+    private final Path directory;
+    private final int segmentRecords;
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    // MySQL's JSON column rejects "[] junk", which a plain readTree accepts
+    private final ObjectReader jsonValidator = mapper.readerFor(JsonNode.class)
+            .with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+
+    private final BlockingQueue<Pending> incoming = new LinkedBlockingQueue<>();
+    private final BlockingQueue<OrderMutation> journaled = new LinkedBlockingQueue<>();
+    private final ConcurrentLinkedDeque<Segment> segments = new ConcurrentLinkedDeque<>();
+
+    private final Object lock = new Object();
+    private long nextSeq;          // guarded by lock
+    private long appliedSeq;       // guarded by lock
+    private IOException failure;   // guarded by lock
+    private boolean closed;        // guarded by lock
+    private boolean replayed;      // guarded by lock
+
+    private String journalId;
+    // Left by earlier runs; applied and deleted by the flush thread before anything newer
+    private List<Path> replayFiles;
+    private List<OrderMutation> replayMutations;
+    private long replayLastSeq;
+
+    private FileChannel segmentChannel;
+    private int segmentCount;
+
+    private Thread journalThread;
+    private Thread flushThread;
+
+    public WriteBehindOrderQueue(OrderRepository repository, Path directory) {
+        this(repository, directory, SEGMENT_RECORDS);
+    }
+
+    WriteBehindOrderQueue(OrderRepository repository, Path directory, int segmentRecords) {
+        this.repository = repository;
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+    }
+
+    /**
+     * Reads the journal left by earlier runs and starts the background threads
+     * Does not touch the database; the old journal is replayed in the background
+     * before any new mutation is applied.
+     *
+     * @throws IOException if the journal directory cannot be used or an entry is corrupt
+     */
+    public void start() throws IOException {
+        Files.createDirectories(directory);
+        journalId = readOrCreateJournalId();
+        readJournal();
+
+        synchronized (lock) {
+            nextSeq = replayLastSeq;
+        }
+        openSegment(replayLastSeq + 1);
+
+        journalThread = new Thread(this::journalLoop, "order-journal");
+        journalThread.setDaemon(true);
+        journalThread.start();
+
+        flushThread = new Thread(this::flushLoop, "order-flusher");
+        flushThread.setDaemon(true);
+        flushThread.start();
+    }
+
+    /* ---------------- SUBMIT ---------------- */
+
+    /**
+     * @return Completes once the insert is durable in the journal, or
+     *         exceptionally with IllegalArgumentException if the order is invalid
+     */
+    public CompletableFuture<Void> insert(Order order) {
+        return submit(OrderMutation.insert(order));
+    }
+
+    public CompletableFuture<Void> delete(String orderId) {
+        return submit(OrderMutation.delete(orderId));
+    }
+
+    /**
+     * Moves order to target, if order still has the status and version it was read with
+     * when the change reaches the database
+     *
+     * @return Completes once the change is durable in the journal, or exceptionally
+     *         with IllegalArgumentException if order's status cannot move to target
+     */
+    public CompletableFuture<Void> updateStatus(Order order, OrderStatus target) {
+        return submit(OrderMutation.status(order, target));
+    }
+
+    private CompletableFuture<Void> submit(OrderMutation mutation) {
+        Pending pending = new Pending(mutation);
+        try {
+            validate(mutation);
+        } catch (IllegalArgumentException ex) {
+            pending.ack.completeExceptionally(ex);
+            return pending.ack;
+        }
+
+        synchronized (lock) {
+            if (closed) {
+                pending.ack.completeExceptionally(new IllegalStateException("Write-behind queue is closed"));
+            } else if (failure != null) {
+                pending.ack.completeExceptionally(failure);
+            } else {
+                // Sequence numbers are assigned in queue order
+                mutation.setSeq(++nextSeq);
+                incoming.add(pending);
+            }
+        }
+        return pending.ack;
+    }
+
+    /**
+     * Rejects what the database would reject, before the caller is told the write is safe
+     */
+    private void validate(OrderMutation mutation) {
+        String orderId = mutation.getOrderId();
+        if (orderId == null || orderId.isEmpty() || orderId.length() > OrderRepository.MAX_ID_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Order ID must be 1-" + OrderRepository.MAX_ID_LENGTH + " characters");
+        }
+
+        if (mutation.getType() == OrderMutation.Type.INSERT) {
+            if (mutation.getDate() == null) {
+                throw new IllegalArgumentException("Order date is required");
+            }
+            if (mutation.getStatus() == null) {
+                throw new IllegalArgumentException("Order status is required");
+            }
+            String customer = mutation.getCustomer();
+            if (customer != null && customer.length() > OrderRepository.MAX_CUSTOMER_LENGTH) {
+                throw new IllegalArgumentException(
+                        "Customer must be at most " + OrderRepository.MAX_CUSTOMER_LENGTH + " characters");
+            }
+            if (!isJson(mutation.getItemsJson())) {
+                throw new IllegalArgumentException("Items must be valid JSON");
+            }
+        } else if (mutation.getType() == OrderMutation.Type.STATUS) {
+            OrderStatus from = mutation.getFromStatus();
+            if (from == null || !from.canTransitionTo(mutation.getStatus()) || mutation.getVersion() == null) {
+                throw new IllegalArgumentException(
+                        "Order " + orderId + " cannot move from " + from + " to " + mutation.getStatus());
+            }
+        }
+    }
+
+    private boolean isJson(String value) {
+        if (value == null) return true;
+        try {
+            JsonNode node = jsonValidator.readValue(value);
+            return node != null && !node.isMissingNode();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Blocks until the old journal has been replayed and every mutation submitted
+     * before this call has been committed to the database (or moved to the dead-letter file)
+     */
+    public void flush() throws InterruptedException, IOException {
+        awaitApplied(Long.MAX_VALUE);
+    }
+
+    /**
+     * Like flush(), but gives up after the timeout
+     *
+     * @return false if some of those mutations were still unapplied when the timeout passed
+     */
+    public boolean flush(long timeout, TimeUnit unit) throws InterruptedException, IOException {
+        return awaitApplied(unit.toNanos(timeout));
+    }
+
+    /**
+     * @param timeoutNanos Long.MAX_VALUE to wait without a timeout
+     * @return false if the timeout passed first
+     */
+    private boolean awaitApplied(long timeoutNanos) throws InterruptedException, IOException {
+        long start = System.nanoTime();
+        synchronized (lock) {
+            long target = nextSeq;
+            while (!replayed || appliedSeq < target) {
+                if (failure != null) throw failure;
+                if (timeoutNanos != Long.MAX_VALUE && System.nanoTime() - start >= timeoutNanos) return false;
+                lock.wait(FLUSH_INTERVAL_MILLIS);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Stops accepting mutations and waits (up to CLOSE_TIMEOUT_MILLIS, plus
+     * THREAD_JOIN_MILLIS per background thread) until the journal has been applied
+     * Whatever is still unapplied stays in the journal and is replayed on the next start.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) return;
+            closed = true;
+        }
+        if (journalThread == null) return;
+
+        try {
+            if (!flush(CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                System.out.println("Write-behind queue closed with unapplied mutations; "
+                        + "they will be replayed on next start");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while closing write-behind queue");
+        } finally {
+            journalThread.interrupt();
+            flushThread.interrupt();
+            try {
+                // A JDBC call may ignore the interrupt; the daemon threads must not hold up logout
+                journalThread.join(THREAD_JOIN_MILLIS);
+                flushThread.join(THREAD_JOIN_MILLIS);
+                if (journalThread.isAlive() || flushThread.isAlive()) {
+                    System.out.println("Write-behind threads still running after close; left to finish on their own");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            segmentChannel.close();
+        }
+    }
+
+    /* ---------------- JOURNAL ---------------- */
+
+    private void journalLoop() {
+        List<Pending> batch = new ArrayList<>();
+        try {
+            while (true) {
+                batch.add(incoming.take());
+                incoming.drainTo(batch, MAX_BATCH - 1);
+
+                try {
+                    append(batch);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                    synchronized (lock) {
+                        failure = e;
+                        lock.notifyAll();
+                    }
+                    // Nothing can be enqueued after failure is set
+                    incoming.drainTo(batch);
+                    for (Pending pending : batch) {
+                        pending.ack.completeExceptionally(e);
+                    }
+                    return;
+                }
+
+                for (Pending pending : batch) {
+                    journaled.add(pending.mutation);
+                    pending.ack.complete(null);
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // Closing
+        }
+    }
+
+    /**
+     * Writes the batch with a single write + fsync (group commit)
+     */
+    private void append(List<Pending> batch) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (Pending pending : batch) {
+            mapper.writeValue(out, pending.mutation);
+            out.write('\n');
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+        while (buffer.hasRemaining()) {
+            segmentChannel.write(buffer);
+        }
+        segmentChannel.force(false);
+
+        segmentCount += batch.size();
+        if (segmentCount >= segmentRecords) {
+            segmentChannel.close();
+            openSegment(batch.get(batch.size() - 1).mutation.getSeq() + 1);
+        }
+    }
+
+    private void openSegment(long firstSeq) throws IOException {
+        Path path = directory.resolve(SEGMENT_PREFIX + firstSeq + SEGMENT_SUFFIX);
+        segmentChannel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        // Make the new directory entry durable, or an fsynced segment could vanish on power loss
+        syncDirectory();
+        segmentCount = 0;
+        segments.addLast(new Segment(firstSeq, path));
+    }
+
+    /* ---------------- DATABASE ---------------- */
+
+    private void flushLoop() {
+        List<OrderMutation> batch = new ArrayList<>();
+        try {
+            long checkpoint = replay(initCheckpointWithRetry());
+            synchronized (lock) {
+                appliedSeq = checkpoint;
+                replayed = true;
+                lock.notifyAll();
+            }
+
+            while (true) {
+                batch.add(journaled.take());
+
+                // Give concurrent writers a moment to join the same transaction
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_INTERVAL_MILLIS);
+                while (batch.size() < MAX_BATCH) {
+                    journaled.drainTo(batch, MAX_BATCH - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= MAX_BATCH || remaining <= 0) break;
+
+                    OrderMutation next = journaled.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+
+                long seq = applyWithRetry(batch);
+                deleteAppliedSegments(seq);
+
+                synchronized (lock) {
+                    appliedSeq = seq;
+                    lock.notifyAll();
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // Closing
+        } catch (IOException e) {
+            e.printStackTrace();
+            synchronized (lock) {
+                failure = e;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * The mutations are already acknowledged, so retry until the database is reachable again
+     *
+     * @return The journal checkpoint after the batch
+     */
+    private long applyWithRetry(List<OrderMutation> batch) throws InterruptedException, IOException {
+        long delay = FLUSH_INTERVAL_MILLIS;
+        while (true) {
+            try {
+                return applyBatch(batch);
+            } catch (SQLException ex) {
+                ex.printStackTrace();
+                Thread.sleep(delay);
+                delay = Math.min(delay * 2, MAX_RETRY_DELAY_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Applies the batch in one transaction; if the database rejects it for good,
+     * applies the mutations one by one and dead-letters the ones it rejects
+     *
+     * @return The journal checkpoint after the batch
+     * @throws SQLException on failures that may succeed when retried
+     */
+    private long applyBatch(List<OrderMutation> batch) throws SQLException, IOException {
+        List<OrderMutation> conflicts = new ArrayList<>();
+        long checkpoint = 0;
+        try {
+            checkpoint = repository.applyMutations(journalId, batch, conflicts);
+        } catch (SQLException ex) {
+            if (!OrderRepository.isPermanentFailure(ex)) throw ex;
+
+            for (OrderMutation mutation : batch) {
+                try {
+                    checkpoint = repository.applyMutations(journalId, List.of(mutation), conflicts);
+                } catch (SQLException mutationEx) {
+                    if (!OrderRepository.isPermanentFailure(mutationEx)) throw mutationEx;
+                    deadLetter(mutation, mutationEx.getMessage());
+                    checkpoint = repository.skipMutation(journalId, mutation.getSeq());
+                }
+            }
+        }
+
+        for (OrderMutation conflict : conflicts) {
+            deadLetter(conflict, "Order " + conflict.getOrderId() + " is no longer "
+                    + conflict.getFromStatus() + " with version " + conflict.getVersion());
+        }
+        return checkpoint;
+    }
+
+    private void deadLetter(OrderMutation mutation, String error) throws IOException {
+        System.out.println("Order mutation " + mutation.getSeq() + " rejected by the database, moved to "
+                + directory.resolve(DEAD_LETTER) + ": " + error);
+
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("mutation", mutation);
+        entry.put("error", error);
+        byte[] line = (mapper.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+
+        Path path = directory.resolve(DEAD_LETTER);
+        boolean created = !Files.exists(path);
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        if (created) {
+            syncDirectory();
+        }
+    }
+
+    /* ---------------- REPLAY ---------------- */
+
+    /**
+     * A segment can go once the segment after it starts at or below the checkpoint
+     */
+    private void deleteAppliedSegments(long checkpoint) throws IOException {
+        while (segments.size() > 1) {
+            Segment oldest = segments.peekFirst();
+            Segment following = segments.stream().skip(1).findFirst().orElse(null);
+            if (following == null || following.firstSeq - 1 > checkpoint) break;
+
+            segments.pollFirst();
+            Files.deleteIfExists(oldest.path);
+        }
+    }
+
+    /**
+     * Loads the segments left by earlier runs
+     * Only the very last line can be a torn write from a crash; it was never acknowledged.
+     */
+    private void readJournal() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted((a, b) -> Long.compare(firstSeq(a), firstSeq(b)))
+                    .collect(Collectors.toList());
+        }
+
+        long lastSeq = 0;
+        List<OrderMutation> mutations = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            // An empty segment still tells which sequence numbers were used before it
+            lastSeq = Math.max(lastSeq, firstSeq(file) - 1);
+
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    OrderMutation mutation;
+                    try {
+                        mutation = mapper.readValue(line, OrderMutation.class);
+                    } catch (IOException e) {
+                        if (i == files.size() - 1 && reader.readLine() == null) break;
+                        throw new IOException("Corrupt journal entry in " + file, e);
+                    }
+                    lastSeq = Math.max(lastSeq, mutation.getSeq());
+                    mutations.add(mutation);
+                }
+            }
+        }
+
+        // A segment starting after the last entry holds at most a torn line; the new segment replaces it
+        Path stale = directory.resolve(SEGMENT_PREFIX + (lastSeq + 1) + SEGMENT_SUFFIX);
+        if (files.remove(stale)) {
+            Files.delete(stale);
+        }
+
+        replayFiles = files;
+        replayMutations = mutations;
+        replayLastSeq = lastSeq;
+    }
+
+    /**
+     * The database may not be reachable yet; new mutations are journaled meanwhile
+     */
+    private long initCheckpointWithRetry() throws InterruptedException, IOException {
+        long delay = FLUSH_INTERVAL_MILLIS;
+        while (true) {
+            try {
+                long checkpoint = repository.initJournalCheckpoint(journalId);
+                if (checkpoint > replayLastSeq) {
+                    // Sequence numbers handed out since start would be skipped as already applied
+                    throw new IOException("Journal " + directory + " ends at entry " + replayLastSeq
+                            + " but the database has applied up to " + checkpoint + "; segments are missing");
+                }
+                return checkpoint;
+            } catch (SQLException ex) {
+                System.out.println("Journal checkpoint not available, retrying: " + ex.getMessage());
+                Thread.sleep(delay);
+                delay = Math.min(delay * 2, MAX_RETRY_DELAY_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Applies the old journal entries after the checkpoint and removes the old segments
+     *
+     * @return The journal checkpoint after the replay
+     */
+    private long replay(long checkpoint) throws InterruptedException, IOException {
+        List<OrderMutation> unapplied = replayMutations.stream()
+                .filter(m -> m.getSeq() > checkpoint)
+                .collect(Collectors.toList());
+
+        for (int start = 0; start < unapplied.size(); start += MAX_BATCH) {
+            applyWithRetry(unapplied.subList(start, Math.min(start + MAX_BATCH, unapplied.size())));
+        }
+        if (!unapplied.isEmpty()) {
+            System.out.println("Replayed " + unapplied.size() + " journaled order mutations");
+        }
+
+        for (Path file : replayFiles) {
+            Files.delete(file);
+        }
+        replayFiles = List.of();
+        replayMutations = List.of();
+        return Math.max(checkpoint, replayLastSeq);
+    }
+
+    /* ---------------- FILES ---------------- */
+
+    private String readOrCreateJournalId() throws IOException {
+        Path path = directory.resolve(JOURNAL_ID);
+        if (Files.exists(path)) {
+            return new String(Files.readAllBytes(path), StandardCharsets.UTF_8).trim();
+        }
+
+        String id = UUID.randomUUID().toString();
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap((id + "\n").getBytes(StandardCharsets.UTF_8)));
+            channel.force(false);
+        }
+        syncDirectory();
+        return id;
+    }
+
+    private void syncDirectory() throws IOException {
+        // Windows cannot open a directory as a channel
+        if (System.getProperty("os.name").startsWith("Windows")) return;
+
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    private static long firstSeq(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static class Pending {
+        final OrderMutation mutation;
+        final CompletableFuture<Void> ack = new CompletableFuture<>();
+
+        Pending(OrderMutation mutation) {
+            this.mutation = mutation;
+        }
+    }
+
+    private static class Segment {
+        final long firstSeq;
+        final Path path;
+
+        Segment(long firstSeq, Path path) {
+            this.firstSeq = firstSeq;
+            this.path = path;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.student.login;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderStatusServiceTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    private Connection keepAlive;
+    private OrderRepository repository;
+    private OrderStatusService service;
+
+    @BeforeEach
+    void createDatabase() throws Exception {
+        String url = "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=DATE";
+        keepAlive = DriverManager.getConnection(url);
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("CREATE TABLE orders (" +
+                    "id VARCHAR(50) PRIMARY KEY, " +
+                    "date DATETIME, " +
+                    "customer VARCHAR(100), " +
+                    "items VARCHAR(4000), " +
+                    "status VARCHAR(20), " +
+                    "version INT NOT NULL DEFAULT 0)");
+        }
+        repository = new OrderRepository(url, "", "");
+        service = new OrderStatusService(repository);
+    }
+
+    @AfterEach
+    void closeDatabase() throws Exception {
+        keepAlive.close();
+    }
+
+    /* ---------------- SELECTED ORDERS ---------------- */
+
+    @Test
+    void staleVersionIsAConflictAndLeavesTheRowAlone() throws Exception {
+        insertOrders("ORD-", 2, "PENDING", DATE);
+        List<Order> read = repository.findAll();
+
+        // Someone else completes ORD-0 after it was read
+        assertEquals(1, service.transition(repository.findById("ORD-0"), OrderStatus.COMPLETED).getUpdated());
+
+        OrderStatusService.TransitionResult result = service.transition(read, OrderStatus.COMPLETED);
+
+        assertEquals(2, result.getRequested());
+        assertEquals(1, result.getUpdated());
+        assertEquals(0, result.getInvalid());
+        assertEquals(1, result.getConflicts());
+
+        Order stale = repository.findById("ORD-0").get(0);
+        assertEquals(OrderStatus.COMPLETED, stale.getStatus());
+        assertEquals(1, stale.getVersion());
+    }
+
+    @Test
+    void deletedOrderIsAConflict() throws Exception {
+        insertOrders("ORD-", 1, "PENDING", DATE);
+        List<Order> read = repository.findAll();
+        repository.delete("ORD-0");
+
+        OrderStatusService.TransitionResult result = service.transition(read, OrderStatus.COMPLETED);
+
+        assertEquals(0, result.getUpdated());
+        assertEquals(1, result.getConflicts());
+    }
+
+    @Test
+    void wrongOrNullStatusIsInvalid() throws Exception {
+        insertOrders("PENDING-", 1, "PENDING", DATE);
+        insertOrders("NULL-", 1, null, DATE);
+        insertOrders("UNKNOWN-", 1, "SHIPPED", DATE);
+        insertOrders("COMPLETED-", 1, "COMPLETED", DATE);
+        List<Order> read = repository.findAll();
+
+        OrderStatusService.TransitionResult result = service.transition(read, OrderStatus.ARCHIVED);
+
+        assertEquals(4, result.getRequested());
+        assertEquals(1, result.getUpdated());
+        assertEquals(3, result.getInvalid());
+        assertEquals(0, result.getConflicts());
+
+        assertEquals(OrderStatus.PENDING, repository.findById("PENDING-0").get(0).getStatus());
+        assertNull(repository.findById("NULL-0").get(0).getStatus());
+        assertEquals(OrderStatus.ARCHIVED, repository.findById("COMPLETED-0").get(0).getStatus());
+    }
+
+    @Test
+    void largeSelectionIsSplitIntoChunks() throws Exception {
+        int count = OrderStatusService.CHUNK_SIZE * 2 + 1;
+        insertOrders("ORD-", count, "PENDING", DATE);
+        List<Order> read = repository.findAll();
+
+        // One stale order in the last chunk only
+        Order last = read.get(read.size() - 1);
+        last.setVersion(last.getVersion() + 1);
+
+        OrderStatusService.TransitionResult result = service.transition(read, OrderStatus.COMPLETED);
+
+        assertEquals(count, result.getRequested());
+        assertEquals(count - 1, result.getUpdated());
+        assertEquals(1, result.getConflicts());
+        assertEquals(count - 1, countWithStatus("COMPLETED"));
+    }
+
+    @Test
+    void archivedCannotMoveAnywhere() throws Exception {
+        for (OrderStatus target : OrderStatus.values()) {
+            assertFalse(OrderStatus.ARCHIVED.canTransitionTo(target));
+        }
+
+        insertOrders("ORD-", 1, "ARCHIVED", DATE);
+        List<Order> read = repository.findAll();
+
+        assertEquals(1, service.transition(read, OrderStatus.COMPLETED).getInvalid());
+        assertEquals(1, service.transition(read, OrderStatus.ARCHIVED).getInvalid());
+        // Nothing leads back to PENDING
+        assertThrows(IllegalArgumentException.class, () -> service.transition(read, OrderStatus.PENDING));
+
+        Order order = repository.findById("ORD-0").get(0);
+        assertEquals(OrderStatus.ARCHIVED, order.getStatus());
+        assertEquals(0, order.getVersion());
+    }
+
+    /* ---------------- BY DATE ---------------- */
+
+    @Test
+    void transitionBeforeLoopsOverEveryChunk() throws Exception {
+        int count = OrderStatusService.CHUNK_SIZE * 2 + 1;
+        insertOrders("OLD-", count, "PENDING", DATE);
+        insertOrders("NEW-", 3, "PENDING", DATE.plusDays(10));
+        insertOrders("DONE-", 2, "COMPLETED", DATE);
+
+        int updated = service.transitionBefore(DATE.plusDays(1), OrderStatus.COMPLETED);
+
+        assertEquals(count, updated);
+        assertEquals(count + 2, countWithStatus("COMPLETED"));
+        assertEquals(3, countWithStatus("PENDING"));
+    }
+
+    @Test
+    void transitionBeforeStopsAtAnExactMultipleOfTheChunkSize() throws Exception {
+        insertOrders("OLD-", OrderStatusService.CHUNK_SIZE, "PENDING", DATE);
+
+        assertEquals(OrderStatusService.CHUNK_SIZE,
+                service.transitionBefore(DATE.plusDays(1), OrderStatus.COMPLETED));
+        assertEquals(0, countWithStatus("PENDING"));
+    }
+
+    /* ---------------- HELPERS ---------------- */
+
+    private void insertOrders(String prefix, int count, String status, LocalDateTime date) throws Exception {
+        try (PreparedStatement ps = keepAlive.prepareStatement(
+                "INSERT INTO orders (id, date, customer, items, status) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < count; i++) {
+                ps.setString(1, prefix + i);
+                ps.setTimestamp(2, Timestamp.valueOf(date));
+                ps.setString(3, "customer");
+                ps.setString(4, "[]");
+                ps.setString(5, status);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private int countWithStatus(String status) throws Exception {
+        int count = 0;
+        for (Order order : repository.findAll()) {
+            if (order.getStatus() != null && order.getStatus().name().equals(status)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,332 @@
+package com.student.login;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindOrderQueueTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    @TempDir
+    Path journalDir;
+
+    private Connection keepAlive;
+    private String repositoryUrl;
+    private OrderRepository repository;
+    private WriteBehindOrderQueue queue;
+
+    @BeforeEach
+    void createDatabase() throws Exception {
+        String url = "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=DATE";
+        keepAlive = DriverManager.getConnection(url);
+        createOrdersTable(keepAlive);
+        repositoryUrl = url;
+        repository = new OrderRepository(url, "", "");
+    }
+
+    private static void createOrdersTable(Connection conn) throws Exception {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE orders (" +
+                    "id VARCHAR(50) PRIMARY KEY, " +
+                    "date DATETIME, " +
+                    "customer VARCHAR(100), " +
+                    "items VARCHAR(4000), " +
+                    "status VARCHAR(20), " +
+                    "version INT NOT NULL DEFAULT 0)");
+        }
+    }
+
+    @AfterEach
+    void closeDatabase() throws Exception {
+        if (queue != null) {
+            queue.close();
+        }
+        keepAlive.close();
+    }
+
+    /* ---------------- REPLAY ---------------- */
+
+    @Test
+    void replayIgnoresTornLastLine() throws Exception {
+        writeSegment(1,
+                json(seq(OrderMutation.insert(order("ORD-A")), 1)),
+                json(seq(OrderMutation.insert(order("ORD-B")), 2)),
+                "{\"seq\":3,\"type\":\"INS");
+
+        start();
+        queue.flush();
+
+        assertEquals(List.of("ORD-A", "ORD-B"), orderIds());
+        assertFalse(Files.exists(journalDir.resolve("journal-1.log")));
+
+        // The torn entry was never acknowledged, so its sequence number is reused
+        queue.insert(order("ORD-C")).get();
+        queue.flush();
+        assertEquals(List.of("ORD-A", "ORD-B", "ORD-C"), orderIds());
+    }
+
+    @Test
+    void replayAfterCheckpointSkipsAppliedMutations() throws Exception {
+        // State after a crash between the database commit of seq 1-3 and segment deletion
+        String journalId = "test-journal";
+        Files.write(journalDir.resolve("journal.id"), journalId.getBytes(StandardCharsets.UTF_8));
+        repository.initJournalCheckpoint(journalId);
+        repository.skipMutation(journalId, 3);
+        repository.insert(order("ORD-Y"));
+
+        writeSegment(1,
+                json(seq(OrderMutation.insert(order("ORD-X")), 1)),
+                json(seq(OrderMutation.insert(order("ORD-Y")), 2)),
+                json(seq(OrderMutation.delete("ORD-X"), 3)),
+                json(seq(OrderMutation.insert(order("ORD-Z")), 4)));
+
+        start();
+        queue.flush();
+
+        // ORD-X stays deleted, ORD-Y is not inserted twice, only ORD-Z is new
+        assertEquals(List.of("ORD-Y", "ORD-Z"), orderIds());
+        assertFalse(Files.exists(journalDir.resolve("dead-letter.log")));
+    }
+
+    @Test
+    void restartAfterCloseReplaysNothing() throws Exception {
+        start();
+        queue.insert(order("ORD-A")).get();
+        queue.delete("ORD-A").get();
+        queue.close();
+
+        repository.insert(order("ORD-A"));
+
+        start();
+        queue.insert(order("ORD-B")).get();
+        queue.flush();
+
+        assertEquals(List.of("ORD-A", "ORD-B"), orderIds());
+    }
+
+    @Test
+    void writesAreAcceptedWhileDatabaseIsUnreachable() throws Exception {
+        String name = UUID.randomUUID().toString();
+        String url = "jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=DATE";
+        repository = new OrderRepository(url + ";IFEXISTS=TRUE", "", "");
+        writeSegment(1, json(seq(OrderMutation.insert(order("ORD-A")), 1)));
+
+        start();
+        queue.insert(order("ORD-B")).get();
+        assertFalse(queue.flush(200, TimeUnit.MILLISECONDS));
+
+        try (Connection database = DriverManager.getConnection(url)) {
+            createOrdersTable(database);
+            assertTimeoutPreemptively(Duration.ofSeconds(15), () -> queue.flush());
+            assertEquals(List.of("ORD-A", "ORD-B"), orderIds());
+            queue.close();
+        }
+    }
+
+    @Test
+    void appliedSegmentsAreDeleted() throws Exception {
+        queue = new WriteBehindOrderQueue(repository, journalDir, 2);
+        queue.start();
+
+        for (int i = 0; i < 7; i++) {
+            queue.insert(order("ORD-" + i)).get();
+        }
+        queue.flush();
+
+        assertEquals(7, orderIds().size());
+        assertEquals(1, segmentFiles().size());
+    }
+
+    @Test
+    void statusChangesAreJournaledWithOptimisticLocking() throws Exception {
+        start();
+
+        Order order = order("ORD-A");
+        queue.insert(order).get();
+        queue.updateStatus(order, OrderStatus.COMPLETED).get();
+
+        // What the table shows after the change above was acknowledged
+        Order completed = order("ORD-A");
+        completed.setStatus(OrderStatus.COMPLETED);
+        completed.setVersion(1);
+        queue.updateStatus(completed, OrderStatus.ARCHIVED).get();
+
+        // Read before someone else bumped the version
+        repository.insert(order("ORD-B"));
+        Order stale = order("ORD-B");
+        stale.setVersion(5);
+        queue.updateStatus(stale, OrderStatus.COMPLETED).get();
+
+        ExecutionException ex = assertThrows(ExecutionException.class,
+                () -> queue.updateStatus(order("ORD-B"), OrderStatus.ARCHIVED).get());
+        assertInstanceOf(IllegalArgumentException.class, ex.getCause());
+
+        queue.flush();
+
+        Order archived = repository.findById("ORD-A").get(0);
+        assertEquals(OrderStatus.ARCHIVED, archived.getStatus());
+        assertEquals(2, archived.getVersion());
+        assertEquals(OrderStatus.PENDING, repository.findById("ORD-B").get(0).getStatus());
+
+        List<String> deadLetters = Files.readAllLines(journalDir.resolve("dead-letter.log"));
+        assertEquals(1, deadLetters.size());
+        assertTrue(deadLetters.get(0).contains("ORD-B"));
+    }
+
+    @Test
+    void statusChangeAfterFlushSeesJournaledWrites() throws Exception {
+        start();
+        OrderStatusService statusService = new OrderStatusService(repository);
+
+        Order order = order("ORD-A");
+        queue.insert(order).get();
+        queue.insert(order("ORD-OLD")).get();
+        queue.delete("ORD-OLD").get();
+
+        assertTrue(queue.flush(5, TimeUnit.SECONDS));
+
+        OrderStatusService.TransitionResult result =
+                statusService.transition(List.of(order), OrderStatus.COMPLETED);
+        assertEquals(1, result.getUpdated());
+        assertEquals(0, result.getConflicts());
+        assertEquals(0, statusService.transitionBefore(DATE.plusDays(1), OrderStatus.COMPLETED));
+        assertEquals(List.of("ORD-A"), orderIds());
+    }
+
+    /* ---------------- FAILURES ---------------- */
+
+    @Test
+    void invalidOrdersAreRejectedBeforeAck() throws Exception {
+        start();
+
+        Order longCustomer = new Order("ORD-A", DATE, "x".repeat(200), "[]");
+        Order badItems = new Order("ORD-B", DATE, "customer", "not json");
+        Order trailingArray = new Order("ORD-C", DATE, "customer", "[] junk");
+        Order trailingObject = new Order("ORD-D", DATE, "customer", "{\"a\":1} trailing");
+
+        for (Order order : new Order[]{longCustomer, badItems, trailingArray, trailingObject}) {
+            ExecutionException ex = assertThrows(ExecutionException.class,
+                    () -> queue.insert(order).get());
+            assertInstanceOf(IllegalArgumentException.class, ex.getCause());
+        }
+
+        queue.flush();
+        assertTrue(orderIds().isEmpty());
+    }
+
+    @Test
+    void rejectedMutationIsDeadLetteredWithoutBlockingLaterWrites() throws Exception {
+        start();
+
+        queue.insert(order("ORD-D")).get();
+        queue.insert(new Order("ORD-D", DATE, "second customer", "[]")).get();
+        queue.insert(order("ORD-E")).get();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> queue.flush());
+
+        assertEquals(List.of("ORD-D", "ORD-E"), orderIds());
+        assertEquals("customer", repository.findById("ORD-D").get(0).getCustomer());
+
+        List<String> deadLetters = Files.readAllLines(journalDir.resolve("dead-letter.log"));
+        assertEquals(1, deadLetters.size());
+        assertTrue(deadLetters.get(0).contains("second customer"));
+    }
+
+    @Test
+    void closeReturnsWhenDatabaseCallIgnoresInterrupt() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        OrderRepository stuck = new OrderRepository(repositoryUrl, "", "") {
+            @Override
+            public long applyMutations(String journalId, List<OrderMutation> mutations,
+                                       List<OrderMutation> conflicts) throws SQLException {
+                while (true) {
+                    try {
+                        release.await();
+                        return super.applyMutations(journalId, mutations, conflicts);
+                    } catch (InterruptedException ignored) {
+                        // Like a JDBC driver blocked in a socket read
+                    }
+                }
+            }
+        };
+        queue = new WriteBehindOrderQueue(stuck, journalDir);
+        queue.start();
+        queue.insert(order("ORD-A")).get();
+
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(15), () -> queue.close());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    /* ---------------- HELPERS ---------------- */
+
+    private void start() throws Exception {
+        queue = new WriteBehindOrderQueue(repository, journalDir);
+        queue.start();
+    }
+
+    private static Order order(String id) {
+        return new Order(id, DATE, "customer", "[{\"sku\":\"SKU-1\",\"qty\":1}]");
+    }
+
+    private static OrderMutation seq(OrderMutation mutation, long seq) {
+        mutation.setSeq(seq);
+        return mutation;
+    }
+
+    private String json(OrderMutation mutation) throws Exception {
+        return mapper.writeValueAsString(mutation);
+    }
+
+    private void writeSegment(long firstSeq, String... lines) throws Exception {
+        Files.write(journalDir.resolve("journal-" + firstSeq + ".log"),
+                String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<String> orderIds() throws Exception {
+        List<String> ids = new ArrayList<>();
+        for (Order order : repository.findAll()) {
+            ids.add(order.getId());
+        }
+        ids.sort(null);
+        return ids;
+    }
+
+    private List<Path> segmentFiles() throws Exception {
+        try (Stream<Path> files = Files.list(journalDir)) {
+            return files.filter(p -> p.getFileName().toString().matches("journal-\\d+\\.log"))
+                    .collect(Collectors.toList());
+        }
+    }
+}